@@ -0,0 +1,47 @@
+package rj.training.rest.tenant;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import javax.sql.DataSource;
+
+@Configuration
+@EnableConfigurationProperties(TenantProperties.class)
+public class TenantConfiguration {
+
+    @Bean
+    public TenantDataSources tenantDataSources(DataSource dataSource, TenantProperties properties,
+                                               MeterRegistry meterRegistry) {
+        return new TenantDataSources(dataSource, properties, meterRegistry);
+    }
+
+    // Switches Hibernate to database-per-tenant mode
+    @Bean
+    public HibernatePropertiesCustomizer tenantHibernateProperties(TenantDataSources dataSources,
+                                                                   TenantProperties properties) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.MULTI_TENANT_CONNECTION_PROVIDER,
+                    new TenantConnectionProvider(dataSources));
+            hibernateProperties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER,
+                    new TenantIdentifierResolver(properties.getDefaultTenant()));
+        };
+    }
+
+    @Bean
+    public TenantSchemaInitializer tenantSchemaInitializer(EntityManagerFactory entityManagerFactory,
+                                                           TenantDataSources dataSources) {
+        return new TenantSchemaInitializer(entityManagerFactory, dataSources);
+    }
+
+    @Bean
+    public TenantFilter tenantFilter(TenantProperties properties, MeterRegistry meterRegistry) {
+        return new TenantFilter(properties, meterRegistry);
+    }
+}
@@ -0,0 +1,25 @@
+package rj.training.rest.tenant;
+
+import org.hibernate.engine.jdbc.connections.spi.AbstractDataSourceBasedMultiTenantConnectionProviderImpl;
+
+import javax.sql.DataSource;
+
+// Hands Hibernate the connection pool of the session's tenant
+public class TenantConnectionProvider extends AbstractDataSourceBasedMultiTenantConnectionProviderImpl {
+
+    private final TenantDataSources dataSources;
+
+    public TenantConnectionProvider(TenantDataSources dataSources) {
+        this.dataSources = dataSources;
+    }
+
+    @Override
+    protected DataSource selectAnyDataSource() {
+        return dataSources.getDefault();
+    }
+
+    @Override
+    protected DataSource selectDataSource(String tenantIdentifier) {
+        return dataSources.get(tenantIdentifier);
+    }
+}
@@ -0,0 +1,67 @@
+package rj.training.rest.tenant;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+// One connection pool per tenant, so a busy tenant can only exhaust its own connections
+public class TenantDataSources implements DisposableBean {
+
+    private final String defaultTenant;
+    private final DataSource defaultDataSource;
+    private final Map<String, HikariDataSource> dataSources = new HashMap<>();
+
+    public TenantDataSources(DataSource defaultDataSource, TenantProperties properties, MeterRegistry meterRegistry) {
+        this.defaultTenant = properties.getDefaultTenant();
+        this.defaultDataSource = defaultDataSource;
+        properties.getTenants().forEach((tenantId, tenant) -> {
+            if (defaultTenant.equals(tenantId)) {
+                return;
+            }
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("tenant-" + tenantId);
+            config.setJdbcUrl(tenant.getUrl());
+            config.setUsername(tenant.getUsername());
+            config.setPassword(tenant.getPassword());
+            config.setMaximumPoolSize(tenant.getMaxPoolSize() != null
+                    ? tenant.getMaxPoolSize() : TenantProperties.Tenant.DEFAULT_MAX_POOL_SIZE);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            dataSources.put(tenantId, new HikariDataSource(config));
+        });
+    }
+
+    public DataSource getDefault() {
+        return defaultDataSource;
+    }
+
+    // Pools of every tenant but the default one, by tenant id
+    public Map<String, ? extends DataSource> getTenantDataSources() {
+        return Collections.unmodifiableMap(dataSources);
+    }
+
+    public DataSource get(String tenantId) {
+        if (defaultTenant.equals(tenantId)) {
+            return defaultDataSource;
+        }
+        DataSource dataSource = dataSources.get(tenantId);
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Unknown tenant: " + tenantId);
+        }
+        return dataSource;
+    }
+
+    @Override
+    public void destroy() {
+        dataSources.values().forEach(HikariDataSource::close);
+    }
+}
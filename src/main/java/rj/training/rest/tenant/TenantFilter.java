@@ -0,0 +1,75 @@
+package rj.training.rest.tenant;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+// Resolves the tenant from the request header, enforces its concurrency quota and times its requests
+public class TenantFilter extends OncePerRequestFilter {
+
+    private final TenantProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Semaphore> quotas = new ConcurrentHashMap<>();
+
+    public TenantFilter(TenantProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String tenantId = request.getHeader(properties.getHeaderName());
+        if (tenantId == null || tenantId.isBlank()) {
+            tenantId = properties.getDefaultTenant();
+        }
+        if (!properties.isKnown(tenantId)) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Unknown tenant: " + tenantId);
+            return;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Semaphore quota = quotas.computeIfAbsent(tenantId,
+                id -> new Semaphore(properties.tenant(id).getMaxConcurrentRequests()));
+        if (!quota.tryAcquire()) {
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Too many concurrent requests for tenant " + tenantId);
+            stop(sample, tenantId, response.getStatus(), null);
+            return;
+        }
+        TenantContext.setTenantId(tenantId);
+        Throwable failure = null;
+        try {
+            filterChain.doFilter(request, response);
+        } catch (Throwable ex) {
+            failure = ex;
+            throw ex;
+        } finally {
+            TenantContext.clear();
+            quota.release();
+            // The container only turns an escaping exception into a 500 after this filter returns
+            int status = failure != null ? HttpStatus.INTERNAL_SERVER_ERROR.value() : response.getStatus();
+            stop(sample, tenantId, status, failure);
+        }
+    }
+
+    private void stop(Timer.Sample sample, String tenantId, int status, Throwable failure) {
+        sample.stop(Timer.builder("user.tenant.requests")
+                .description("Latency of requests per tenant")
+                .tag("tenant", tenantId)
+                .tag("status", String.valueOf(status))
+                .tag("exception", failure != null ? failure.getClass().getSimpleName() : "none")
+                .register(meterRegistry));
+    }
+}
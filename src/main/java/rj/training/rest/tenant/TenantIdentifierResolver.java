@@ -0,0 +1,24 @@
+package rj.training.rest.tenant;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+// Tells Hibernate which tenant a new session belongs to
+public class TenantIdentifierResolver implements CurrentTenantIdentifierResolver {
+
+    private final String defaultTenant;
+
+    public TenantIdentifierResolver(String defaultTenant) {
+        this.defaultTenant = defaultTenant;
+    }
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        String tenantId = TenantContext.getTenantId();
+        return tenantId != null ? tenantId : defaultTenant;
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return true;
+    }
+}
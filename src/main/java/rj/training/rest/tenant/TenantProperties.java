@@ -0,0 +1,70 @@
+package rj.training.rest.tenant;
+
+import lombok.Data;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "tenancy")
+public class TenantProperties implements InitializingBean {
+
+    // Request header carrying the tenant id
+    private String headerName = "X-Tenant-ID";
+
+    // Tenant used when the header is absent; it is stored in spring.datasource
+    private String defaultTenant = "default";
+
+    private Map<String, Tenant> tenants = new LinkedHashMap<>();
+
+    // Every tenant other than the default needs its own database; the default one always uses
+    // spring.datasource, so a url or pool size given for it would be silently ignored
+    @Override
+    public void afterPropertiesSet() {
+        tenants.forEach((tenantId, tenant) -> {
+            String prefix = "tenancy.tenants." + tenantId + ".";
+            if (defaultTenant.equals(tenantId)) {
+                if (tenant.getUrl() != null) {
+                    throw new IllegalStateException(prefix + "url is not supported for the default tenant; "
+                            + "it uses spring.datasource.url");
+                }
+                if (tenant.getMaxPoolSize() != null) {
+                    throw new IllegalStateException(prefix + "max-pool-size is not supported for the default tenant; "
+                            + "use spring.datasource.hikari.maximum-pool-size");
+                }
+            } else if (tenant.getUrl() == null || tenant.getUrl().isBlank()) {
+                throw new IllegalStateException(prefix + "url is required");
+            }
+        });
+    }
+
+    public boolean isKnown(String tenantId) {
+        return defaultTenant.equals(tenantId) || tenants.containsKey(tenantId);
+    }
+
+    // Settings for a tenant, falling back to the defaults below when it is not listed
+    public Tenant tenant(String tenantId) {
+        return tenants.getOrDefault(tenantId, new Tenant());
+    }
+
+    @Data
+    public static class Tenant {
+
+        public static final int DEFAULT_MAX_POOL_SIZE = 5;
+
+        // JDBC url of the tenant's own database; required for every tenant but the default one
+        private String url;
+        // Credentials of the tenant's own database, like spring.datasource.username/password
+        private String username;
+        private String password;
+
+        // Upper bound of the tenant's own connection pool, DEFAULT_MAX_POOL_SIZE when not set
+        private Integer maxPoolSize;
+
+        // Requests served at once for the tenant before it gets 429 Too Many Requests
+        private int maxConcurrentRequests = 20;
+    }
+}
@@ -0,0 +1,53 @@
+package rj.training.rest.tenant;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+import org.springframework.beans.factory.InitializingBean;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Hibernate only manages the schema of the default database. This applies the same mapping and the
+// same schema action (spring.jpa.hibernate.ddl-auto) to every other tenant's database.
+public class TenantSchemaInitializer implements InitializingBean {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final TenantDataSources dataSources;
+
+    public TenantSchemaInitializer(EntityManagerFactory entityManagerFactory, TenantDataSources dataSources) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.dataSources = dataSources;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        Map<String, Object> settings = new HashMap<>(entityManagerFactory.getProperties());
+        settings.remove(AvailableSettings.MULTI_TENANT_CONNECTION_PROVIDER);
+        settings.remove(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER);
+        settings.remove(AvailableSettings.JAKARTA_NON_JTA_DATASOURCE);
+        dataSources.getTenantDataSources().forEach((tenantId, dataSource) -> {
+            Map<String, Object> tenantSettings = new HashMap<>(settings);
+            tenantSettings.put(AvailableSettings.DATASOURCE, dataSource);
+            StandardServiceRegistry registry = new StandardServiceRegistryBuilder().applySettings(tenantSettings).build();
+            try {
+                MetadataSources sources = new MetadataSources(registry);
+                for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+                    sources.addAnnotatedClass(entity.getJavaType());
+                }
+                Metadata metadata = sources.buildMetadata();
+                // In-memory tenant databases go away with their pool, so there is nothing to drop on close
+                SchemaManagementToolCoordinator.process(metadata, registry, tenantSettings, action -> {
+                });
+            } finally {
+                StandardServiceRegistryBuilder.destroy(registry);
+            }
+        });
+    }
+}
@@ -0,0 +1,52 @@
+package rj.training.rest.user;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+// Fields a caller can ask for through the fields= query parameter
+public enum UserField {
+    ID("id"),
+    NAME("name"),
+    EMAIL("email");
+
+    public static final Set<UserField> ALL = Collections.unmodifiableSet(EnumSet.allOf(UserField.class));
+
+    // Name of both the User attribute and the JSON property
+    private final String property;
+
+    UserField(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    // Parses a comma separated list such as "id,name"; a missing or blank list selects every field,
+    // while a list with no names in it (such as ",") is rejected
+    public static Set<UserField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<UserField> selected = EnumSet.noneOf(UserField.class);
+        for (String name : fields.split(",")) {
+            if (!name.isBlank()) {
+                selected.add(fromProperty(name.trim()));
+            }
+        }
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("No user fields selected: " + fields);
+        }
+        return selected;
+    }
+
+    public static UserField fromProperty(String property) {
+        for (UserField field : values()) {
+            if (field.property.equalsIgnoreCase(property)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown user field: " + property);
+    }
+}
@@ -0,0 +1,12 @@
+package rj.training.rest.user;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import rj.training.rest.user.json.UserViewSerializer;
+
+import java.util.Set;
+
+// DTO projection of User holding only the selected fields; the others are left null and not written out
+@JsonSerialize(using = UserViewSerializer.class)
+public record UserView(Set<UserField> fields, Long id, String name, String email) {
+}
@@ -5,10 +5,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
 import rj.training.rest.user.User;
+import rj.training.rest.user.UserField;
+import rj.training.rest.user.UserView;
 import rj.training.rest.user.repository.UserRepository;
 
 import java.net.URI;
@@ -16,6 +19,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/users")
@@ -75,13 +79,13 @@ public class UserController {
     }
 
     @GetMapping
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public List<UserView> getAllUsers(@RequestParam(required = false) String fields) {
+        return userRepository.findAllViews(parseFields(fields));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<User> getUserById(@PathVariable Long id) {
-        Optional<User> user = userRepository.findById(id);
+    public ResponseEntity<UserView> getUserById(@PathVariable Long id, @RequestParam(required = false) String fields) {
+        Optional<UserView> user = userRepository.findViewById(id, parseFields(fields));
         return user.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
     }
 
@@ -130,10 +134,17 @@ public class UserController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<User>> getUserByName(@RequestParam String name) {
-        List<User> filteredUsers = userRepository.findAll().stream()
-                .filter(user -> user.getName().equalsIgnoreCase(name))
-                .toList();
+    public ResponseEntity<List<UserView>> getUserByName(@RequestParam String name,
+                                                        @RequestParam(required = false) String fields) {
+        List<UserView> filteredUsers = userRepository.findViewsByName(name, parseFields(fields));
         return ResponseEntity.ok(filteredUsers);
     }
+
+    private Set<UserField> parseFields(String fields) {
+        try {
+            return UserField.parse(fields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,47 @@
+package rj.training.rest.user.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import rj.training.rest.user.UserField;
+import rj.training.rest.user.UserView;
+
+import java.io.IOException;
+import java.util.Set;
+
+// Writes only the fields selected for a UserView, in the same order as the full User
+public class UserViewSerializer extends StdSerializer<UserView> {
+
+    private static final SerializedString ID = new SerializedString(UserField.ID.getProperty());
+    private static final SerializedString NAME = new SerializedString(UserField.NAME.getProperty());
+    private static final SerializedString EMAIL = new SerializedString(UserField.EMAIL.getProperty());
+
+    public UserViewSerializer() {
+        super(UserView.class);
+    }
+
+    @Override
+    public void serialize(UserView view, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        Set<UserField> fields = view.fields();
+        generator.writeStartObject(view);
+        if (fields.contains(UserField.ID)) {
+            generator.writeFieldName(ID);
+            if (view.id() == null) {
+                generator.writeNull();
+            } else {
+                generator.writeNumber(view.id());
+            }
+        }
+        if (fields.contains(UserField.NAME)) {
+            generator.writeFieldName(NAME);
+            generator.writeString(view.name());
+        }
+        if (fields.contains(UserField.EMAIL)) {
+            generator.writeFieldName(EMAIL);
+            generator.writeString(view.email());
+        }
+        generator.writeEndObject();
+    }
+}
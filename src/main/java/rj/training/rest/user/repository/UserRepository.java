@@ -3,4 +3,4 @@ import org.springframework.data.jpa.repository.JpaRepository;
 
 import rj.training.rest.user.User;
 
-public interface UserRepository extends JpaRepository<User, Long> {}
+public interface UserRepository extends JpaRepository<User, Long>, UserViewRepository {}
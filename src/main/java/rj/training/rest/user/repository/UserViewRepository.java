@@ -0,0 +1,18 @@
+package rj.training.rest.user.repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import rj.training.rest.user.UserField;
+import rj.training.rest.user.UserView;
+
+// Reads users as UserView projections; only the columns of the given fields are selected
+public interface UserViewRepository {
+
+    List<UserView> findAllViews(Set<UserField> fields);
+
+    List<UserView> findViewsByName(String name, Set<UserField> fields);
+
+    Optional<UserView> findViewById(Long id, Set<UserField> fields);
+}
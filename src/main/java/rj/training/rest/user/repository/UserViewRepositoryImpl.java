@@ -0,0 +1,74 @@
+package rj.training.rest.user.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import rj.training.rest.user.User;
+import rj.training.rest.user.UserField;
+import rj.training.rest.user.UserView;
+
+public class UserViewRepositoryImpl implements UserViewRepository {
+
+    private final EntityManager entityManager;
+
+    public UserViewRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<UserView> findAllViews(Set<UserField> fields) {
+        return findViews(fields, null);
+    }
+
+    @Override
+    public List<UserView> findViewsByName(String name, Set<UserField> fields) {
+        // Bound as a parameter rather than inlined into the SQL
+        String upperName = name.toUpperCase(Locale.ROOT);
+        return findViews(fields, (builder, root) ->
+                builder.equal(builder.upper(root.get(UserField.NAME.getProperty())), upperName));
+    }
+
+    @Override
+    public Optional<UserView> findViewById(Long id, Set<UserField> fields) {
+        return findViews(fields, (builder, root) -> builder.equal(root.get(UserField.ID.getProperty()), id))
+                .stream()
+                .findFirst();
+    }
+
+    // Builds "select <selected columns> from myuser [where ...]" as a tuple query
+    private List<UserView> findViews(Set<UserField> fields,
+                                     BiFunction<CriteriaBuilder, Root<User>, Predicate> restriction) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<User> root = query.from(User.class);
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (UserField field : fields) {
+            selections.add(root.get(field.getProperty()).alias(field.getProperty()));
+        }
+        query.multiselect(selections);
+        if (restriction != null) {
+            query.where(restriction.apply(builder, root));
+        }
+        return entityManager.createQuery(query).getResultList().stream()
+                .map(tuple -> toView(tuple, fields))
+                .toList();
+    }
+
+    private static UserView toView(Tuple tuple, Set<UserField> fields) {
+        return new UserView(fields,
+                fields.contains(UserField.ID) ? tuple.get(UserField.ID.getProperty(), Long.class) : null,
+                fields.contains(UserField.NAME) ? tuple.get(UserField.NAME.getProperty(), String.class) : null,
+                fields.contains(UserField.EMAIL) ? tuple.get(UserField.EMAIL.getProperty(), String.class) : null);
+    }
+}
@@ -0,0 +1,146 @@
+package rj.training.rest;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertThrows;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import rj.training.rest.tenant.TenantContext;
+import rj.training.rest.tenant.TenantFilter;
+import rj.training.rest.tenant.TenantProperties;
+
+public class TenantFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TenantFilter filter;
+
+    @BeforeMethod
+    public void setup() {
+        TenantProperties properties = new TenantProperties();
+        properties.getTenants().put("acme", tenant(1));
+        properties.getTenants().put("globex", tenant(1));
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new TenantFilter(properties, meterRegistry);
+    }
+
+    // Test case for the concurrency quota: a second acme request while one is in flight gets 429
+    @Test
+    public void testRejectsRequestOverTenantQuota() throws Exception {
+        MockHttpServletResponse inner = new MockHttpServletResponse();
+        AtomicInteger served = new AtomicInteger();
+        FilterChain innerChain = (req, res) -> served.incrementAndGet();
+        FilterChain outerChain = (req, res) -> {
+            served.incrementAndGet();
+            filter.doFilter(request("acme"), inner, innerChain);
+        };
+
+        MockHttpServletResponse outer = new MockHttpServletResponse();
+        filter.doFilter(request("acme"), outer, outerChain);
+
+        assertEquals(outer.getStatus(), 200);
+        assertEquals(inner.getStatus(), 429);
+        assertEquals(served.get(), 1);
+        assertEquals(timer("acme", "429").count(), 1);
+    }
+
+    // Test case for quota isolation: a busy acme does not block globex
+    @Test
+    public void testQuotaIsPerTenant() throws Exception {
+        MockHttpServletResponse inner = new MockHttpServletResponse();
+        AtomicInteger served = new AtomicInteger();
+        FilterChain innerChain = (req, res) -> served.incrementAndGet();
+        FilterChain outerChain = (req, res) -> {
+            served.incrementAndGet();
+            filter.doFilter(request("globex"), inner, innerChain);
+        };
+
+        filter.doFilter(request("acme"), new MockHttpServletResponse(), outerChain);
+
+        assertEquals(inner.getStatus(), 200);
+        assertEquals(served.get(), 2);
+    }
+
+    // Test case for releasing the quota once a request finishes
+    @Test
+    public void testQuotaIsReleasedAfterRequest() throws Exception {
+        AtomicInteger served = new AtomicInteger();
+        FilterChain chain = (req, res) -> served.incrementAndGet();
+
+        filter.doFilter(request("acme"), new MockHttpServletResponse(), chain);
+        filter.doFilter(request("acme"), new MockHttpServletResponse(), chain);
+
+        assertEquals(served.get(), 2);
+        assertEquals(timer("acme", "200").count(), 2);
+    }
+
+    // Test case for exposing the resolved tenant to the request and clearing it afterwards
+    @Test
+    public void testSetsAndClearsTenantContext() throws Exception {
+        String[] seen = new String[2];
+        filter.doFilter(request("globex"), new MockHttpServletResponse(), (req, res) -> seen[0] = TenantContext.getTenantId());
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/users"), new MockHttpServletResponse(),
+                (req, res) -> seen[1] = TenantContext.getTenantId());
+
+        assertEquals(seen[0], "globex");
+        assertEquals(seen[1], "default");
+        assertNull(TenantContext.getTenantId());
+    }
+
+    // Test case for a request whose chain throws: timed as a 500 and the quota is still released
+    @Test
+    public void testRecordsFailedRequestAsServerError() throws Exception {
+        FilterChain failingChain = (req, res) -> {
+            throw new IllegalStateException("boom");
+        };
+
+        assertThrows(IllegalStateException.class,
+                () -> filter.doFilter(request("acme"), new MockHttpServletResponse(), failingChain));
+
+        Timer failed = meterRegistry.get("user.tenant.requests").tag("tenant", "acme").tag("status", "500")
+                .tag("exception", "IllegalStateException").timer();
+        assertEquals(failed.count(), 1);
+        assertNull(meterRegistry.find("user.tenant.requests").tag("status", "200").timer());
+        assertNull(TenantContext.getTenantId());
+
+        AtomicInteger served = new AtomicInteger();
+        filter.doFilter(request("acme"), new MockHttpServletResponse(), (req, res) -> served.incrementAndGet());
+        assertEquals(served.get(), 1);
+    }
+
+    @Test
+    public void testRejectsUnknownTenant() throws Exception {
+        AtomicInteger served = new AtomicInteger();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("initech"), response, (req, res) -> served.incrementAndGet());
+
+        assertEquals(response.getStatus(), 400);
+        assertEquals(served.get(), 0);
+    }
+
+    private static TenantProperties.Tenant tenant(int maxConcurrentRequests) {
+        TenantProperties.Tenant tenant = new TenantProperties.Tenant();
+        tenant.setUrl("jdbc:h2:mem:unused");
+        tenant.setMaxConcurrentRequests(maxConcurrentRequests);
+        return tenant;
+    }
+
+    private static MockHttpServletRequest request(String tenantId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users");
+        request.addHeader("X-Tenant-ID", tenantId);
+        return request;
+    }
+
+    private Timer timer(String tenantId, String status) {
+        return meterRegistry.get("user.tenant.requests").tag("tenant", tenantId).tag("status", status).timer();
+    }
+}
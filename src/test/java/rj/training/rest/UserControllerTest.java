@@ -40,6 +40,34 @@ public class UserControllerTest {
             .body("email", equalTo("john@example.com"));
     }
 
+    // Test case for rejecting an object where a string field is expected
+    @Test
+    public void testCreateUserWithNestedName() {
+        String userJson = "{\"name\":{\"x\":1}, \"email\":\"john@example.com\"}";
+
+        given()
+            .spec(requestSpec)
+            .body(userJson)
+        .when()
+            .post()
+        .then()
+            .statusCode(400);
+    }
+
+    // Test case for rejecting a non-numeric id
+    @Test
+    public void testCreateUserWithNonNumericId() {
+        String userJson = "{\"id\":\"abc\", \"name\":\"John Doe\", \"email\":\"john@example.com\"}";
+
+        given()
+            .spec(requestSpec)
+            .body(userJson)
+        .when()
+            .post()
+        .then()
+            .statusCode(400);
+    }
+
     // Test case for getting all users
     @Test
     public void testGetAllUsers() {
@@ -249,6 +277,170 @@ public class UserControllerTest {
             .body("[0].name", equalTo("John Doe"));
     }
     
+    // Test case for selecting a subset of fields with the fields query parameter
+    @Test
+    public void testGetAllUsersWithFields() {
+        String userJson = "{\"name\":\"John Doe\", \"email\":\"john@example.com\"}";
+
+        given()
+            .spec(requestSpec)
+            .body(userJson)
+        .when()
+            .post()
+        .then()
+            .statusCode(201);
+
+        given()
+            .spec(requestSpec)
+            .queryParam("fields", "id,name")
+        .when()
+            .get()
+        .then()
+            .statusCode(200)
+            .body("size()", greaterThanOrEqualTo(1))
+            .body("[0].id", notNullValue())
+            .body("[0].name", notNullValue())
+            .body("[0]", not(hasKey("email")));
+    }
+
+    @Test
+    public void testSearchUserByNameWithFields() {
+        given()
+            .spec(requestSpec)
+            .queryParam("name", "John Doe")
+            .queryParam("fields", "name")
+        .when()
+            .get("/search")
+        .then()
+            .statusCode(200)
+            .body("[0].name", equalTo("John Doe"))
+            .body("[0]", not(hasKey("id")))
+            .body("[0]", not(hasKey("email")));
+    }
+
+    // Test case for case-insensitive search combined with the fields query parameter
+    @Test
+    public void testSearchUserByMixedCaseNameWithFields() {
+        String userJson = "{\"name\":\"John Doe\", \"email\":\"john@example.com\"}";
+
+        given()
+            .spec(requestSpec)
+            .body(userJson)
+        .when()
+            .post()
+        .then()
+            .statusCode(201);
+
+        given()
+            .spec(requestSpec)
+            .queryParam("name", "jOHN doe")
+            .queryParam("fields", "id,name")
+        .when()
+            .get("/search")
+        .then()
+            .statusCode(200)
+            .body("size()", greaterThanOrEqualTo(1))
+            .body("name", everyItem(equalTo("John Doe")))
+            .body("[0]", not(hasKey("email")));
+    }
+
+    @Test
+    public void testGetAllUsersWithEmptyFields() {
+        given()
+            .spec(requestSpec)
+            .queryParam("fields", ",")
+        .when()
+            .get()
+        .then()
+            .statusCode(400);
+    }
+
+    @Test
+    public void testGetUserByIdWithUnknownField() {
+        given()
+            .spec(requestSpec)
+            .queryParam("fields", "password")
+        .when()
+            .get("/1")
+        .then()
+            .statusCode(400);
+    }
+    
+    // Test case for tenant isolation: a user created for one tenant is not visible to another
+    @Test
+    public void testUserIsIsolatedPerTenant() {
+        String userJson = "{\"name\":\"Acme User\", \"email\":\"user@acme.example\"}";
+
+        int userId = given()
+            .spec(requestSpec)
+            .header("X-Tenant-ID", "acme")
+            .body(userJson)
+        .when()
+            .post()
+        .then()
+            .statusCode(201)
+            .extract().path("id");
+
+        given()
+            .spec(requestSpec)
+            .header("X-Tenant-ID", "acme")
+        .when()
+            .get("/" + userId)
+        .then()
+            .statusCode(200)
+            .body("name", equalTo("Acme User"));
+
+        given()
+            .spec(requestSpec)
+            .header("X-Tenant-ID", "globex")
+            .queryParam("name", "Acme User")
+        .when()
+            .get("/search")
+        .then()
+            .statusCode(200)
+            .body("size()", equalTo(0));
+
+        // Ids are per database, so the default tenant may have a different user under the same id
+        given()
+            .spec(requestSpec)
+        .when()
+            .get("/" + userId)
+        .then()
+            .body(not(containsString("Acme User")));
+    }
+
+    // Test case for the per-tenant latency timer
+    @Test
+    public void testTenantRequestMetrics() {
+        given()
+            .spec(requestSpec)
+            .header("X-Tenant-ID", "acme")
+        .when()
+            .get()
+        .then()
+            .statusCode(200);
+
+        given()
+            .queryParam("tag", "tenant:acme")
+        .when()
+            .get("/actuator/metrics/user.tenant.requests")
+        .then()
+            .statusCode(200)
+            .body("name", equalTo("user.tenant.requests"))
+            .body("measurements.find { it.statistic == 'COUNT' }.value", greaterThan(0f));
+    }
+
+    @Test
+    public void testUnknownTenant() {
+        given()
+            .spec(requestSpec)
+            .header("X-Tenant-ID", "initech")
+        .when()
+            .get()
+        .then()
+            .statusCode(400);
+    }
+    
  // Test case for custom header
     @Test
     public void testCustomHeader() {
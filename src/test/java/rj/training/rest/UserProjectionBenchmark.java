@@ -0,0 +1,268 @@
+package rj.training.rest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+import rj.training.rest.user.User;
+import rj.training.rest.user.UserField;
+import rj.training.rest.user.UserView;
+import rj.training.rest.user.repository.UserViewRepositoryImpl;
+
+// Measures what fields= saves as myuser gets wider. A test entity mapped onto the same myuser table
+// widens it to 10 or 30 columns. The benchmark compares loading and writing that whole entity, as
+// getAllUsers did before fields= existed, with UserViewRepositoryImpl.findAllViews and
+// UserViewSerializer for every User field and for id,name only.
+// Run main() and compare us/op and gc.alloc.rate.norm.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserProjectionBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private static final Set<UserField> ID_AND_NAME = EnumSet.of(UserField.ID, UserField.NAME);
+
+    // Columns of myuser: User's id, name and email plus the extra columns of the wide test entity
+    @Param({"3", "10", "30"})
+    private int width;
+
+    private HikariDataSource dataSource;
+
+    private SessionFactory sessionFactory;
+
+    private Class<?> entityClass;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<?> entities;
+
+    private List<UserView> allFieldViews;
+
+    private List<UserView> idAndNameViews;
+
+    // Discards output; unlike OutputStream.nullOutputStream() it stays usable after Jackson closes it
+    private final OutputStream sink = new OutputStream() {
+
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // Outside Spring Boot logback defaults to DEBUG, which makes Hibernate log every row; the app runs it at INFO
+        ((ch.qos.logback.classic.Logger) org.slf4j.LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME))
+                .setLevel(ch.qos.logback.classic.Level.INFO);
+        entityClass = switch (width) {
+            case 3 -> User.class;
+            case 10 -> Width10User.class;
+            case 30 -> Width30User.class;
+            default -> throw new IllegalArgumentException("Unsupported width: " + width);
+        };
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:projection" + width + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setPassword("sa");
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.DATASOURCE, dataSource)
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create")
+                .build();
+        MetadataSources sources = new MetadataSources(registry).addAnnotatedClass(User.class);
+        if (entityClass != User.class) {
+            sources.addAnnotatedClass(entityClass);
+        }
+        sessionFactory = sources.buildMetadata().buildSessionFactory();
+
+        sessionFactory.inTransaction(session -> {
+            for (int row = 1; row <= ROWS; row++) {
+                session.persist(new User(null, "User " + row, "user" + row + "@example.com"));
+            }
+            for (int column = 3; column < width; column++) {
+                session.createNativeMutationQuery("update myuser set extra" + column
+                        + " = concat('value of extra" + column + " for user ', id)").executeUpdate();
+            }
+        });
+        sessionFactory.inSession(session -> {
+            Number columns = (Number) session.createNativeQuery(
+                    "select count(*) from information_schema.columns where table_name = 'MYUSER'").getSingleResult();
+            if (columns.intValue() != width) {
+                throw new IllegalStateException("myuser has " + columns + " columns, expected " + width);
+            }
+        });
+        entities = loadEntities();
+        if (entities.size() != ROWS) {
+            throw new IllegalStateException("Loaded " + entities.size() + " rows, expected " + ROWS);
+        }
+        allFieldViews = findViews(UserField.ALL);
+        idAndNameViews = findViews(ID_AND_NAME);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+        dataSource.close();
+    }
+
+    @Benchmark
+    public List<?> queryEntity() {
+        return loadEntities();
+    }
+
+    @Benchmark
+    public List<UserView> queryAllFields() {
+        return findViews(UserField.ALL);
+    }
+
+    @Benchmark
+    public List<UserView> queryIdAndName() {
+        return findViews(ID_AND_NAME);
+    }
+
+    @Benchmark
+    public void writeEntity() throws IOException {
+        objectMapper.writeValue(sink, entities);
+    }
+
+    @Benchmark
+    public void writeAllFields() throws IOException {
+        objectMapper.writeValue(sink, allFieldViews);
+    }
+
+    @Benchmark
+    public void writeIdAndName() throws IOException {
+        objectMapper.writeValue(sink, idAndNameViews);
+    }
+
+    // One EntityManager per call, as one request gets with open-in-view
+    private List<?> loadEntities() {
+        EntityManager entityManager = sessionFactory.createEntityManager();
+        try {
+            return entityManager.createQuery("from " + entityClass.getName(), entityClass).getResultList();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private List<UserView> findViews(Set<UserField> fields) {
+        EntityManager entityManager = sessionFactory.createEntityManager();
+        try {
+            return new UserViewRepositoryImpl(entityManager).findAllViews(fields);
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(UserProjectionBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+
+    // User's columns plus extra3..extra9; maps onto the same myuser table
+    @Getter
+    @Setter
+    @MappedSuperclass
+    public static class Width10Columns {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+
+        private String name;
+        private String email;
+        private String extra3;
+        private String extra4;
+        private String extra5;
+        private String extra6;
+        private String extra7;
+        private String extra8;
+        private String extra9;
+    }
+
+    // Adds extra10..extra29
+    @Getter
+    @Setter
+    @MappedSuperclass
+    public static class Width30Columns extends Width10Columns {
+
+        private String extra10;
+        private String extra11;
+        private String extra12;
+        private String extra13;
+        private String extra14;
+        private String extra15;
+        private String extra16;
+        private String extra17;
+        private String extra18;
+        private String extra19;
+        private String extra20;
+        private String extra21;
+        private String extra22;
+        private String extra23;
+        private String extra24;
+        private String extra25;
+        private String extra26;
+        private String extra27;
+        private String extra28;
+        private String extra29;
+    }
+
+    @Entity(name = "myuser_width10")
+    @Table(name = "myuser")
+    public static class Width10User extends Width10Columns {
+    }
+
+    @Entity(name = "myuser_width30")
+    @Table(name = "myuser")
+    public static class Width30User extends Width30Columns {
+    }
+}